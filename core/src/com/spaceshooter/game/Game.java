@@ -6,15 +6,28 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 
+import com.spaceshooter.game.metrics.GameProfiler;
+import com.spaceshooter.game.metrics.GameProfilerAdapter;
+
 import java.util.Random;
 
 public class Game extends com.badlogic.gdx.Game {
 	GameScreen gameScreen;
 	public static Random random = new Random();
 
+	private GameProfiler profiler;
+
+	public Game() {
+		this(new GameProfilerAdapter());
+	}
+
+	public Game(GameProfiler profiler) {
+		this.profiler = profiler;
+	}
+
 	@Override
 	public void create() {
-		gameScreen = new GameScreen();
+		gameScreen = new GameScreen(profiler);
 		setScreen(gameScreen);
 	}
 
@@ -1,7 +1,6 @@
 package com.spaceshooter.game;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
@@ -15,8 +14,16 @@ import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.StretchViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import com.spaceshooter.game.collision.ShipSweepAndPrune;
+import com.spaceshooter.game.graphics.LaserRenderer;
+import com.spaceshooter.game.input.PlayerInput;
+import com.spaceshooter.game.metrics.FramePhase;
+import com.spaceshooter.game.metrics.GameProfiler;
+import com.spaceshooter.game.metrics.GameProfilerAdapter;
+import com.spaceshooter.game.models.Ship;
 import com.spaceshooter.game.objects.Explosion;
 import com.spaceshooter.game.objects.Laser;
 import com.spaceshooter.game.objects.Particles;
@@ -34,6 +41,7 @@ public class GameScreen implements Screen {
 
     //graphics
     private SpriteBatch batch;
+    private LaserRenderer laserRenderer;
     private TextureAtlas textureAtlas;
     private Texture explosionTexture;
     private TextureRegion[] backgrounds;
@@ -52,6 +60,15 @@ public class GameScreen implements Screen {
     private final float WORLD_WIDTH = 72;
     private final float WORLD_HEIGHT = 128;
     private final float TOUCH_MOVEMENT_THRESHOLD = 0.5f;
+    private final float SHIP_KNOCKBACK_DISTANCE = 3f;
+    //how far the player's top edge may cross the midline, enemies stay above it
+    private final float PLAYER_RAM_REACH = 2f;
+    private final float SHIP_COLLISION_BAND_HEIGHT = 16;
+
+    //input
+    private PlayerInput playerInput;
+    private final Vector2 touchPoint = new Vector2();
+    private final Vector2 playerShipCenter = new Vector2();
 
     //gameObjects
     private PlayerShip playerShip;
@@ -60,14 +77,26 @@ public class GameScreen implements Screen {
     private LinkedList<Laser> enemyLaserList;
     private LinkedList<Explosion> explosionList;
     private LinkedList<Particles> particles;
+    private ShipSweepAndPrune shipCollisions;
+    private final Array<Ship> shipsDestroyedThisPass = new Array<>(false, 4, Ship.class);
 
     private int score = 0;
 
+    //profiling
+    private GameProfiler profiler;
+    private long frameId = 0;
+
     //Heads Up Display
     BitmapFont font;
     float hudVerticalMargin, hudLeftX, hudRightX, hudCenterX, hudRow1, hudRow2, hudSectionWidth;
 
     public GameScreen() {
+        this(new GameProfilerAdapter());
+    }
+
+    public GameScreen(GameProfiler profiler) {
+        this.profiler = profiler;
+
         camera = new OrthographicCamera();
         viewport = new StretchViewport(WORLD_WIDTH, WORLD_HEIGHT, camera);
 
@@ -97,6 +126,9 @@ public class GameScreen implements Screen {
         playerShip = new PlayerShip(48,3,10,10, WORLD_WIDTH/ 2, WORLD_HEIGHT/4,  0.4f, 4, 45, 0.5f,playerShipTextureRegion, playerShieldTextureRegion, playerLaserTextureRegion);
         enemyShips = new LinkedList<>();
 
+        shipCollisions = new ShipSweepAndPrune(WORLD_HEIGHT, SHIP_COLLISION_BAND_HEIGHT);
+        shipCollisions.add(playerShip);
+
         playerLaserList = new LinkedList<>();
         enemyLaserList = new LinkedList<>();
 
@@ -104,13 +136,18 @@ public class GameScreen implements Screen {
         particles = new LinkedList<>();
 
         batch = new SpriteBatch();
+        laserRenderer = new LaserRenderer(1024);
+
+        playerInput = new PlayerInput();
+        playerInput.setLatencyListener(profiler);
 
         prepareHud();
     }
 
     @Override
     public void show() {
-
+        playerInput.reset();
+        Gdx.input.setInputProcessor(playerInput);
     }
 
     private void prepareHud() {
@@ -138,13 +175,20 @@ public class GameScreen implements Screen {
 
     @Override
     public void render(float delta) {
+        frameId++;
+        profiler.frameBegin(frameId);
+
         batch.begin();
 
+        profiler.phaseBegin(FramePhase.BACKGROUND);
         renderBackground(delta);
-        detectInput(delta);
+        profiler.phaseEnd(FramePhase.BACKGROUND);
 
+        profiler.phaseBegin(FramePhase.SPAWN);
         spawnEnemyShips(delta);
+        profiler.phaseEnd(FramePhase.SPAWN);
 
+        profiler.phaseBegin(FramePhase.ENEMIES);
         ListIterator<EnemyShip> enemyShipListIterator = enemyShips.listIterator();
         while (enemyShipListIterator.hasNext()) {
             EnemyShip enemyShip = enemyShipListIterator.next();
@@ -155,21 +199,43 @@ public class GameScreen implements Screen {
 
             enemyShip.draw(batch);
         }
+        profiler.phaseEnd(FramePhase.ENEMIES);
 
+        profiler.phaseBegin(FramePhase.INPUT);
+        detectInput(delta);
+        profiler.phaseEnd(FramePhase.INPUT);
+
+        profiler.phaseBegin(FramePhase.PLAYER);
         playerShip.update(delta);
 
         playerShip.draw(batch);
+        profiler.phaseEnd(FramePhase.PLAYER);
 
+        profiler.phaseBegin(FramePhase.LASERS);
         renderLaser(delta);
+        profiler.phaseEnd(FramePhase.LASERS);
 
+        profiler.phaseBegin(FramePhase.EXPLOSIONS);
         updateAndRenderExplosions(delta);
+        profiler.phaseEnd(FramePhase.EXPLOSIONS);
+
+        profiler.phaseBegin(FramePhase.PARTICLES);
         updateAndRenderParticles(delta);
+        profiler.phaseEnd(FramePhase.PARTICLES);
 
+        profiler.phaseBegin(FramePhase.COLLISIONS);
         detectCollisions();
+        profiler.phaseEnd(FramePhase.COLLISIONS);
 
+        profiler.phaseBegin(FramePhase.HUD);
         updateAndRenderHUD();
+        profiler.phaseEnd(FramePhase.HUD);
 
+        profiler.phaseBegin(FramePhase.FLUSH);
         batch.end();
+        profiler.phaseEnd(FramePhase.FLUSH);
+
+        profiler.frameEnd(frameId, delta);
     }
 
     private void updateAndRenderHUD() {
@@ -199,6 +265,7 @@ public class GameScreen implements Screen {
     public void renderLaser(float delta) {
         if (playerShip.canShoot()) {
             Laser[] lasers = playerShip.fireLaser();
+            profiler.objectsCreated("laser", lasers.length);
             for (Laser laser: lasers) {
                 playerLaserList.add(laser);
             }
@@ -210,16 +277,19 @@ public class GameScreen implements Screen {
 
             if (enemyShip.canShoot()) {
                 Laser[] lasers = enemyShip.fireLaser();
+                profiler.objectsCreated("laser", lasers.length);
                 for (Laser laser: lasers) {
                     enemyLaserList.add(laser);
                 }
             }
         }
 
+        laserRenderer.begin(batch);
+
         ListIterator<Laser> iterator = playerLaserList.listIterator();
         while(iterator.hasNext()) {
             Laser laser = iterator.next();
-            laser.draw(batch);
+            laserRenderer.add(laser);
             laser.boundingBox.y += laser.movementSpeed*delta;
             if (laser.boundingBox.y > WORLD_HEIGHT) {
                 iterator.remove();
@@ -229,12 +299,14 @@ public class GameScreen implements Screen {
         iterator = enemyLaserList.listIterator();
         while(iterator.hasNext()) {
             Laser laser = iterator.next();
-            laser.draw(batch);
+            laserRenderer.add(laser);
             laser.boundingBox.y -= laser.movementSpeed*delta;
             if (laser.boundingBox.y + laser.boundingBox.height < 0) {
                 iterator.remove();
             }
         }
+
+        laserRenderer.end();
     }
 
     private void updateAndRenderParticles(float delta) {
@@ -265,17 +337,23 @@ public class GameScreen implements Screen {
     }
 
     private void detectCollisions() {
+        int pairsTested = 0, hits = 0;
+
         ListIterator<Laser> laserListIterator = playerLaserList.listIterator();
         while(laserListIterator.hasNext()) {
             Laser laser = laserListIterator.next();
             ListIterator<EnemyShip> enemyShipListIterator = enemyShips.listIterator();
             while (enemyShipListIterator.hasNext()) {
                 EnemyShip enemyShip = enemyShipListIterator.next();
+                pairsTested++;
                 if (enemyShip.intersects(laser.boundingBox)) {
+                    hits++;
                     if(enemyShip.hitAndCheckDestroyed(laser)) {
                         enemyShipListIterator.remove();
+                        shipCollisions.remove(enemyShip);
                         //explosionList.add(new Explosion(explosionTexture, new Rectangle(enemyShip.boundingBox), 0.7f));
                         particles.add(new Particles(new Rectangle(enemyShip.boundingBox)));
+                        profiler.objectsCreated("particles", 1);
                         score += 100;
                     }
                     laserListIterator.remove();
@@ -283,63 +361,158 @@ public class GameScreen implements Screen {
                 }
             }
         }
+        profiler.collisionPass("playerLaser", pairsTested, hits);
+
+        pairsTested = 0;
+        hits = 0;
 
         laserListIterator = enemyLaserList.listIterator();
         while(laserListIterator.hasNext()) {
             Laser laser = laserListIterator.next();
+            pairsTested++;
             if (playerShip.intersects(laser.boundingBox)) {
+                hits++;
                 if(playerShip.hitAndCheckDestroyed(laser)) {
                     explosionList.add(new Explosion(explosionTexture, new Rectangle(playerShip.boundingBox), 1.6f));
+                    profiler.objectsCreated("explosion", 1);
                     playerShip.shield = 10;
                     playerShip.lives--;
                 };
                 laserListIterator.remove();
             }
         }
+        profiler.collisionPass("enemyLaser", pairsTested, hits);
+
+        detectShipCollisions();
+    }
+
+    private void detectShipCollisions() {
+        Array<Ship> overlappingPairs = shipCollisions.findOverlappingPairs();
+        profiler.collisionPass("ship", shipCollisions.getPairsTested(), overlappingPairs.size / 2);
+
+        shipsDestroyedThisPass.clear();
+        for (int i = 0; i < overlappingPairs.size; i += 2) {
+            Ship firstShip = overlappingPairs.get(i);
+            Ship secondShip = overlappingPairs.get(i + 1);
+
+            //pairs were found before this pass destroyed anything, skip the wrecks
+            if (shipsDestroyedThisPass.contains(firstShip, true) || shipsDestroyedThisPass.contains(secondShip, true)) {
+                continue;
+            }
+
+            if (firstShip == playerShip || secondShip == playerShip) {
+                EnemyShip enemyShip = (EnemyShip)(firstShip == playerShip ? secondShip : firstShip);
+
+                knockBack(playerShip, enemyShip, SHIP_KNOCKBACK_DISTANCE);
+                keepPlayerInBounds();
+                keepEnemyInBounds(enemyShip);
+
+                if (enemyShip.rammedAndCheckDestroyed(playerShip)) {
+                    enemyShips.remove(enemyShip);
+                    shipCollisions.remove(enemyShip);
+                    shipsDestroyedThisPass.add(enemyShip);
+                    particles.add(new Particles(new Rectangle(enemyShip.boundingBox)));
+                    profiler.objectsCreated("particles", 1);
+                    score += 100;
+                }
+                if (playerShip.rammedAndCheckDestroyed(enemyShip)) {
+                    explosionList.add(new Explosion(explosionTexture, new Rectangle(playerShip.boundingBox), 1.6f));
+                    profiler.objectsCreated("explosion", 1);
+                    playerShip.shield = 10;
+                    playerShip.lives--;
+                }
+            } else {
+                //enemies only push each other apart, so swarms do not wipe themselves out
+                knockBack(firstShip, secondShip, 0);
+                keepEnemyInBounds(firstShip);
+                keepEnemyInBounds(secondShip);
+            }
+        }
+    }
+
+    private void knockBack(Ship firstShip, Ship secondShip, float extraDistance) {
+        Rectangle first = firstShip.boundingBox;
+        Rectangle second = secondShip.boundingBox;
+
+        float xOverlap = Math.min(first.x + first.width, second.x + second.width) - Math.max(first.x, second.x);
+        float yOverlap = Math.min(first.y + first.height, second.y + second.height) - Math.max(first.y, second.y);
+
+        //push the ships apart along the axis with the smallest overlap
+        if (xOverlap < yOverlap) {
+            float push = (xOverlap + extraDistance) / 2;
+            if (first.x + first.width / 2 < second.x + second.width / 2) push = -push;
+            firstShip.translate(push, 0);
+            secondShip.translate(-push, 0);
+        } else {
+            float push = (yOverlap + extraDistance) / 2;
+            if (first.y + first.height / 2 < second.y + second.height / 2) push = -push;
+            firstShip.translate(0, push);
+            secondShip.translate(0, -push);
+        }
+    }
+
+    private void keepPlayerInBounds() {
+        Rectangle boundingBox = playerShip.boundingBox;
+        boundingBox.x = Math.max(0, Math.min(boundingBox.x, WORLD_WIDTH - boundingBox.width));
+        boundingBox.y = Math.max(0, Math.min(boundingBox.y, WORLD_HEIGHT / 2 + PLAYER_RAM_REACH - boundingBox.height));
+    }
+
+    private void keepEnemyInBounds(Ship enemyShip) {
+        Rectangle boundingBox = enemyShip.boundingBox;
+        boundingBox.x = Math.max(0, Math.min(boundingBox.x, WORLD_WIDTH - boundingBox.width));
+        boundingBox.y = Math.max(WORLD_HEIGHT / 2, Math.min(boundingBox.y, WORLD_HEIGHT - boundingBox.height));
     }
 
     private void spawnEnemyShips(float delta) {
         enemySpawnTimer += delta;
 
         if (enemySpawnTimer > timeBetweenEnemySpawns) {
-            enemyShips.add(
-                    new EnemyShip(48,1,10,10, Game.random.nextFloat()*(WORLD_WIDTH-10)+5, WORLD_HEIGHT - 5, 0.3f, 5, 50, 0.8f, enemyShipTextureRegion, enemyShieldTextureRegion, enemyLaserTextureRegion)
-            );
+            float xCenter = Game.random.nextFloat()*(WORLD_WIDTH-10)+5;
+            float yCenter = WORLD_HEIGHT - 5;
+            EnemyShip enemyShip = new EnemyShip(48,1,10,10, xCenter, yCenter, 0.3f, 5, 50, 0.8f, enemyShipTextureRegion, enemyShieldTextureRegion, enemyLaserTextureRegion);
+            enemyShips.add(enemyShip);
+            shipCollisions.add(enemyShip);
+            profiler.enemySpawned(xCenter, yCenter);
 
             enemySpawnTimer -= timeBetweenEnemySpawns;
         }
     }
 
     public void detectInput(float delta) {
+        playerInput.releaseStaleInput();
+
         float leftLimit, rightLimit, upLimit, downLimit;
 
         leftLimit = -playerShip.boundingBox.x;
         downLimit = -playerShip.boundingBox.y;
         rightLimit = WORLD_WIDTH - playerShip.boundingBox.x - playerShip.boundingBox.width;
-        upLimit = (float)(WORLD_HEIGHT / 2) - playerShip.boundingBox.y - playerShip.boundingBox.height;
+        upLimit = (float)(WORLD_HEIGHT / 2) + PLAYER_RAM_REACH - playerShip.boundingBox.y - playerShip.boundingBox.height;
+
+        boolean shipMoved = false;
 
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT) && rightLimit > 0) {
+        if (playerInput.isRightPressed() && rightLimit > 0) {
             playerShip.translate(Math.min(playerShip.movementSpeed*delta, rightLimit), 0f);
+            shipMoved = true;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.UP) && upLimit > 0) {
+        if (playerInput.isUpPressed() && upLimit > 0) {
             playerShip.translate(0f, Math.min(playerShip.movementSpeed*delta, upLimit));
+            shipMoved = true;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT) && leftLimit < 0) {
-            playerShip.translate(Math.max(playerShip.movementSpeed*delta, leftLimit), 0f);
+        if (playerInput.isLeftPressed() && leftLimit < 0) {
+            playerShip.translate(Math.max(-playerShip.movementSpeed*delta, leftLimit), 0f);
+            shipMoved = true;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.DOWN) && downLimit < 0) {
-            playerShip.translate(0f, Math.max(playerShip.movementSpeed*delta, downLimit));
+        if (playerInput.isDownPressed() && downLimit < 0) {
+            playerShip.translate(0f, Math.max(-playerShip.movementSpeed*delta, downLimit));
+            shipMoved = true;
         }
 
         //TOUCH INPUT
-        if (Gdx.input.isTouched()) {
-            float xTouchPixels = Gdx.input.getX();
-            float yTouchPixels = Gdx.input.getY();
+        if (playerInput.isTouched()) {
+            touchPoint.set(playerInput.getTouchX(), playerInput.getTouchY());
+            viewport.unproject(touchPoint);
 
-            Vector2 touchPoint = new Vector2(xTouchPixels, yTouchPixels);
-            touchPoint = viewport.unproject(touchPoint);
-
-            Vector2 playerShipCenter = new Vector2(
+            playerShipCenter.set(
                     playerShip.boundingBox.x + playerShip.boundingBox.width/2,
                     playerShip.boundingBox.y + playerShip.boundingBox.height/2);
 
@@ -359,8 +532,11 @@ public class GameScreen implements Screen {
                 else yMove = Math.max(yMove, downLimit);
 
                 playerShip.translate(xMove,yMove);
+                shipMoved |= xMove != 0 || yMove != 0;
             }
         }
+
+        playerInput.markApplied(shipMoved);
     }
 
     private  void moveEnemies(EnemyShip enemyShip, float delta) {
@@ -391,21 +567,23 @@ public class GameScreen implements Screen {
 
     @Override
     public void pause() {
-
+        //key and touch releases can be missed while paused or unfocused, drop held input
+        playerInput.reset();
     }
 
     @Override
     public void resume() {
-
+        playerInput.reset();
     }
 
     @Override
     public void hide() {
-
+        Gdx.input.setInputProcessor(null);
     }
 
     @Override
     public void dispose() {
-
+        laserRenderer.dispose();
+        profiler.dispose();
     }
 }
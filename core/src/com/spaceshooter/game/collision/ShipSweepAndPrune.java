@@ -0,0 +1,122 @@
+package com.spaceshooter.game.collision;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.spaceshooter.game.models.Ship;
+
+/**
+ * Finds overlapping ships with a sweep-and-prune pass along the x axis.
+ * The ships stay sorted by their left edge between frames, so re-sorting with an
+ * insertion sort is close to linear while ships only move a little each frame.
+ * <p>
+ * The world is narrow compared to a ship, so a single active set would hold a large
+ * share of all ships. Instead the sweep keeps one active set per horizontal band of
+ * {@code bandHeight}, and a ship only meets ships sharing one of the bands it covers.
+ */
+public class ShipSweepAndPrune {
+
+    private final float bandHeight;
+    private final Array<Ship> ships = new Array<>(true, 64, Ship.class);
+    private final Array<Ship>[] activeShipsByBand;
+    private final Array<Ship> overlappingPairs = new Array<>(true, 16, Ship.class);
+
+    private int pairsTested = 0;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ShipSweepAndPrune(float worldHeight, float bandHeight) {
+        this.bandHeight = bandHeight;
+
+        int bandCount = Math.max(1, (int)Math.ceil(worldHeight / bandHeight));
+        activeShipsByBand = new Array[bandCount];
+        for (int band = 0; band < bandCount; band++) {
+            activeShipsByBand[band] = new Array<>(false, 16, Ship.class);
+        }
+    }
+
+    public void add(Ship ship) {
+        ships.add(ship);
+    }
+
+    public void remove(Ship ship) {
+        ships.removeValue(ship, true);
+    }
+
+    public int size() {
+        return ships.size;
+    }
+
+    /**
+     * Returns every overlapping pair found this pass, stored as consecutive entries:
+     * the ships at index 2n and 2n+1 overlap. The returned array is reused on the next call.
+     */
+    public Array<Ship> findOverlappingPairs() {
+        sortByLeftEdge();
+
+        for (Array<Ship> activeShips : activeShipsByBand) {
+            activeShips.clear();
+        }
+        overlappingPairs.clear();
+        pairsTested = 0;
+
+        Ship[] items = ships.items;
+        for (int i = 0; i < ships.size; i++) {
+            Ship ship = items[i];
+            Rectangle boundingBox = ship.boundingBox;
+
+            int lastBand = bandOf(boundingBox.y + boundingBox.height);
+            for (int band = bandOf(boundingBox.y); band <= lastBand; band++) {
+                Array<Ship> activeShips = activeShipsByBand[band];
+                Ship[] active = activeShips.items;
+
+                //drop ships that end before this one starts, nothing later in the sweep can reach them
+                for (int j = activeShips.size - 1; j >= 0; j--) {
+                    Rectangle activeBox = active[j].boundingBox;
+                    if (activeBox.x + activeBox.width < boundingBox.x) {
+                        activeShips.removeIndex(j);
+                    }
+                }
+
+                for (int j = 0; j < activeShips.size; j++) {
+                    Ship activeShip = active[j];
+
+                    //ships sharing several bands are only tested in the band where their y overlap starts
+                    if (bandOf(Math.max(activeShip.boundingBox.y, boundingBox.y)) != band) continue;
+
+                    pairsTested++;
+                    if (activeShip.intersects(boundingBox)) {
+                        overlappingPairs.add(activeShip);
+                        overlappingPairs.add(ship);
+                    }
+                }
+
+                activeShips.add(ship);
+            }
+        }
+
+        return overlappingPairs;
+    }
+
+    public int getPairsTested() {
+        return pairsTested;
+    }
+
+    private int bandOf(float y) {
+        int band = (int)Math.floor(y / bandHeight);
+        return Math.max(0, Math.min(band, activeShipsByBand.length - 1));
+    }
+
+    private void sortByLeftEdge() {
+        Ship[] items = ships.items;
+        for (int i = 1; i < ships.size; i++) {
+            Ship ship = items[i];
+            float x = ship.boundingBox.x;
+
+            int j = i - 1;
+            while (j >= 0 && items[j].boundingBox.x > x) {
+                items[j + 1] = items[j];
+                j--;
+            }
+            items[j + 1] = ship;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.spaceshooter.game.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Disposable;
+import com.spaceshooter.game.objects.Laser;
+
+/**
+ * Draws lasers from a dedicated {@link Mesh} instead of one
+ * {@link Batch#draw(TextureRegion, float, float, float, float)} per laser. Quads are written
+ * straight into the mesh's vertex array and submitted with one GL draw per texture run, or
+ * per {@link #MAX_LASERS_PER_DRAW} lasers, since indices are 16 bit.
+ * Produces the same quads as {@link Laser#draw(Batch)}.
+ * <p>
+ * Building the quads costs about the same CPU time as the batch does; what it saves is draw
+ * calls once more lasers are on screen than a default {@link SpriteBatch} holds (1000),
+ * see the desktop {@code LaserSubmissionBenchmark}.
+ * <p>
+ * Rendering reuses the batch's shader, projection and blending, so it must be called between
+ * {@link Batch#begin()} and {@link Batch#end()}; {@link #begin(Batch)} flushes what the
+ * batch already holds to keep draw order.
+ */
+public class LaserRenderer implements Disposable {
+
+    public static final int MAX_LASERS_PER_DRAW = 8191;
+
+    //x, y, color, u, v for each of the four corners, same layout as SpriteBatch
+    private static final int VERTEX_SIZE = 5;
+    private static final int SPRITE_SIZE = 4 * VERTEX_SIZE;
+
+    private final Mesh mesh;
+    private final float[] vertices;
+    private int vertexCount = 0;
+
+    private Batch batch;
+    private float color;
+    private Texture texture;
+    private TextureRegion region;
+    private float u, v, u2, v2;
+
+    @SuppressWarnings("deprecation")
+    public LaserRenderer(int maxLasers) {
+        int size = Math.max(1, Math.min(maxLasers, MAX_LASERS_PER_DRAW));
+
+        //same vertex storage as SpriteBatch picks for its own mesh
+        Mesh.VertexDataType vertexDataType = Gdx.gl30 != null
+                ? Mesh.VertexDataType.VertexBufferObjectWithVAO : SpriteBatch.defaultVertexDataType;
+        mesh = new Mesh(vertexDataType, false, size * 4, size * 6,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+
+        short[] indices = new short[size * 6];
+        short vertex = 0;
+        for (int i = 0; i < indices.length; i += 6, vertex += 4) {
+            indices[i] = vertex;
+            indices[i + 1] = (short)(vertex + 1);
+            indices[i + 2] = (short)(vertex + 2);
+            indices[i + 3] = (short)(vertex + 2);
+            indices[i + 4] = (short)(vertex + 3);
+            indices[i + 5] = vertex;
+        }
+        mesh.setIndices(indices);
+
+        vertices = new float[size * SPRITE_SIZE];
+    }
+
+    public void begin(Batch batch) {
+        batch.flush();
+        this.batch = batch;
+        this.color = batch.getPackedColor();
+    }
+
+    public void add(Laser laser) {
+        TextureRegion region = laser.textureRegion;
+        if (region != this.region) {
+            if (region.getTexture() != texture) {
+                render();
+                texture = region.getTexture();
+            }
+            this.region = region;
+            u = region.getU();
+            v = region.getV();
+            u2 = region.getU2();
+            v2 = region.getV2();
+        }
+
+        if (vertexCount == vertices.length) {
+            render();
+        }
+
+        Rectangle boundingBox = laser.boundingBox;
+        float x = boundingBox.x - boundingBox.width / 2;
+        float y = boundingBox.y;
+        float x2 = x + boundingBox.width;
+        float y2 = y + boundingBox.height;
+
+        float[] vertices = this.vertices;
+        int idx = vertexCount;
+        vertices[idx] = x;
+        vertices[idx + 1] = y;
+        vertices[idx + 2] = color;
+        vertices[idx + 3] = u;
+        vertices[idx + 4] = v2;
+
+        vertices[idx + 5] = x;
+        vertices[idx + 6] = y2;
+        vertices[idx + 7] = color;
+        vertices[idx + 8] = u;
+        vertices[idx + 9] = v;
+
+        vertices[idx + 10] = x2;
+        vertices[idx + 11] = y2;
+        vertices[idx + 12] = color;
+        vertices[idx + 13] = u2;
+        vertices[idx + 14] = v;
+
+        vertices[idx + 15] = x2;
+        vertices[idx + 16] = y;
+        vertices[idx + 17] = color;
+        vertices[idx + 18] = u2;
+        vertices[idx + 19] = v2;
+
+        vertexCount += SPRITE_SIZE;
+    }
+
+    public void end() {
+        render();
+        batch = null;
+        texture = null;
+        region = null;
+    }
+
+    private void render() {
+        if (vertexCount == 0) return;
+
+        if (batch.isBlendingEnabled()) {
+            Gdx.gl.glEnable(GL20.GL_BLEND);
+            Gdx.gl.glBlendFuncSeparate(batch.getBlendSrcFunc(), batch.getBlendDstFunc(),
+                    batch.getBlendSrcFuncAlpha(), batch.getBlendDstFuncAlpha());
+        } else {
+            Gdx.gl.glDisable(GL20.GL_BLEND);
+        }
+
+        //the batch's shader is bound and has its projection set since Batch#begin,
+        //and SpriteBatch rebinds its own texture on every flush
+        texture.bind();
+        mesh.setVertices(vertices, 0, vertexCount);
+        mesh.render(batch.getShader(), GL20.GL_TRIANGLES, 0, vertexCount / SPRITE_SIZE * 6);
+
+        vertexCount = 0;
+    }
+
+    @Override
+    public void dispose() {
+        mesh.dispose();
+    }
+}
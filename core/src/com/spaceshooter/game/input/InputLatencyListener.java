@@ -0,0 +1,10 @@
+package com.spaceshooter.game.input;
+
+public interface InputLatencyListener {
+    /**
+     * Called the first time the player ship is moved with state from a new input event.
+     * {@code latencyNanos} is the time from the event being timestamped to the ship moving,
+     * both measured on the {@link com.badlogic.gdx.utils.TimeUtils#nanoTime()} clock.
+     */
+    void inputApplied(long latencyNanos);
+}
@@ -0,0 +1,167 @@
+package com.spaceshooter.game.input;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Keeps the latest key and touch state for the player ship, updated from input events
+ * instead of polling. Each event is timestamped so the screen can report
+ * input-to-movement latency. State is event-latched, so the screen must {@link #reset()}
+ * it when paused and call {@link #releaseStaleInput()} every frame, or a release lost
+ * while paused or unfocused leaves the ship drifting.
+ */
+public class PlayerInput extends InputAdapter {
+
+    private boolean leftPressed, rightPressed, upPressed, downPressed;
+
+    private boolean touched;
+    private int touchPointer = -1;
+    private int touchX, touchY;
+
+    //latency tracking
+    private long lastEventTime;
+    private long lastAppliedEventTime;
+    private InputLatencyListener latencyListener;
+
+    public void setLatencyListener(InputLatencyListener latencyListener) {
+        this.latencyListener = latencyListener;
+    }
+
+    /**
+     * Marks the latest event as consumed. Latency is only reported when it moved the
+     * player ship; events that did not move it (key releases, touches inside the movement
+     * threshold, keys held at a limit) are consumed silently.
+     */
+    public void markApplied(boolean shipMoved) {
+        if (shipMoved && latencyListener != null && lastEventTime != lastAppliedEventTime) {
+            long latency = TimeUtils.nanoTime() - lastEventTime;
+            if (latency >= 0) latencyListener.inputApplied(latency);
+        }
+        lastAppliedEventTime = lastEventTime;
+    }
+
+    /**
+     * Drops keys and touches the backend no longer reports as held. LWJGL does not pause on
+     * focus loss by default, so a release that happened while unfocused is only caught here.
+     */
+    public void releaseStaleInput() {
+        if (leftPressed && !Gdx.input.isKeyPressed(Input.Keys.LEFT)) leftPressed = false;
+        if (rightPressed && !Gdx.input.isKeyPressed(Input.Keys.RIGHT)) rightPressed = false;
+        if (upPressed && !Gdx.input.isKeyPressed(Input.Keys.UP)) upPressed = false;
+        if (downPressed && !Gdx.input.isKeyPressed(Input.Keys.DOWN)) downPressed = false;
+
+        if (touched && !Gdx.input.isTouched(touchPointer)) {
+            touched = false;
+            touchPointer = -1;
+        }
+    }
+
+    public void reset() {
+        leftPressed = rightPressed = upPressed = downPressed = false;
+        touched = false;
+        touchPointer = -1;
+    }
+
+    public boolean isLeftPressed() {
+        return leftPressed;
+    }
+
+    public boolean isRightPressed() {
+        return rightPressed;
+    }
+
+    public boolean isUpPressed() {
+        return upPressed;
+    }
+
+    public boolean isDownPressed() {
+        return downPressed;
+    }
+
+    public boolean isTouched() {
+        return touched;
+    }
+
+    public int getTouchX() {
+        return touchX;
+    }
+
+    public int getTouchY() {
+        return touchY;
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+        return setKey(keycode, true);
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        return setKey(keycode, false);
+    }
+
+    private boolean setKey(int keycode, boolean pressed) {
+        switch (keycode) {
+            case Input.Keys.LEFT:
+                leftPressed = pressed;
+                break;
+            case Input.Keys.RIGHT:
+                rightPressed = pressed;
+                break;
+            case Input.Keys.UP:
+                upPressed = pressed;
+                break;
+            case Input.Keys.DOWN:
+                downPressed = pressed;
+                break;
+            default:
+                return false;
+        }
+        lastEventTime = eventTime();
+        return true;
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        if (touched && pointer != touchPointer) return false;
+
+        touched = true;
+        touchPointer = pointer;
+        return setTouch(screenX, screenY);
+    }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer) {
+        if (!touched || pointer != touchPointer) return false;
+
+        return setTouch(screenX, screenY);
+    }
+
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        if (!touched || pointer != touchPointer) return false;
+
+        touched = false;
+        touchPointer = -1;
+        return setTouch(screenX, screenY);
+    }
+
+    private boolean setTouch(int screenX, int screenY) {
+        touchX = screenX;
+        touchY = screenY;
+        lastEventTime = eventTime();
+        return true;
+    }
+
+    private long eventTime() {
+        //Android stamps events with System.nanoTime() as the OS delivers them. LWJGL uses the
+        //windowing system's millisecond clock, so there the event is stamped on arrival instead
+        if (Gdx.app.getType() == Application.ApplicationType.Android) {
+            return Gdx.input.getCurrentEventTime();
+        }
+        return TimeUtils.nanoTime();
+    }
+}
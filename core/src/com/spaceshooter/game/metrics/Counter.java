@@ -0,0 +1,18 @@
+package com.spaceshooter.game.metrics;
+
+public class Counter {
+
+    private long count;
+
+    public void increment() {
+        count++;
+    }
+
+    public void add(long amount) {
+        count += amount;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,15 @@
+package com.spaceshooter.game.metrics;
+
+public enum FramePhase {
+    BACKGROUND,
+    SPAWN,
+    ENEMIES,
+    INPUT,
+    PLAYER,
+    LASERS,
+    EXPLOSIONS,
+    PARTICLES,
+    COLLISIONS,
+    HUD,
+    FLUSH
+}
@@ -0,0 +1,30 @@
+package com.spaceshooter.game.metrics;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.spaceshooter.game.input.InputLatencyListener;
+
+/**
+ * Hooks called by {@link com.spaceshooter.game.GameScreen} while it runs a frame.
+ * Implementations must be cheap, they are called several times per frame.
+ * {@link #dispose()} is called once when the screen is disposed.
+ */
+public interface GameProfiler extends InputLatencyListener, Disposable {
+
+    void frameBegin(long frameId);
+
+    void frameEnd(long frameId, float delta);
+
+    void phaseBegin(FramePhase phase);
+
+    void phaseEnd(FramePhase phase);
+
+    void collisionPass(String pass, int pairsTested, int hits);
+
+    void enemySpawned(float x, float y);
+
+    /**
+     * Called whenever gameplay creates short-lived objects such as lasers, particles
+     * or explosions.
+     */
+    void objectsCreated(String kind, int count);
+}
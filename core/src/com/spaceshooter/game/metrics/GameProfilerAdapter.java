@@ -0,0 +1,43 @@
+package com.spaceshooter.game.metrics;
+
+/**
+ * A {@link GameProfiler} that ignores every hook. Used when profiling is off.
+ */
+public class GameProfilerAdapter implements GameProfiler {
+
+    @Override
+    public void frameBegin(long frameId) {
+    }
+
+    @Override
+    public void frameEnd(long frameId, float delta) {
+    }
+
+    @Override
+    public void phaseBegin(FramePhase phase) {
+    }
+
+    @Override
+    public void phaseEnd(FramePhase phase) {
+    }
+
+    @Override
+    public void collisionPass(String pass, int pairsTested, int hits) {
+    }
+
+    @Override
+    public void enemySpawned(float x, float y) {
+    }
+
+    @Override
+    public void objectsCreated(String kind, int count) {
+    }
+
+    @Override
+    public void inputApplied(long latencyNanos) {
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
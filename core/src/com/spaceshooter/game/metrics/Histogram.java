@@ -0,0 +1,83 @@
+package com.spaceshooter.game.metrics;
+
+/**
+ * Fixed-bucket histogram. Recording never allocates; percentiles are reported as the
+ * upper bound of the bucket they fall in.
+ */
+public class Histogram {
+
+    private final float[] bucketBounds;
+    private final long[] bucketCounts;
+
+    private long count;
+    private double sum;
+    private float min, max;
+
+    public Histogram(float... bucketBounds) {
+        this.bucketBounds = bucketBounds;
+        this.bucketCounts = new long[bucketBounds.length + 1];
+        reset();
+    }
+
+    public void record(float value) {
+        int bucket = 0;
+        while (bucket < bucketBounds.length && value > bucketBounds[bucket]) {
+            bucket++;
+        }
+        bucketCounts[bucket]++;
+
+        count++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public float getMean() {
+        return count == 0 ? 0 : (float)(sum / count);
+    }
+
+    public float getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public float getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    public float getPercentile(float percentile) {
+        if (count == 0) return 0;
+
+        long rank = (long)Math.ceil(percentile / 100f * count);
+        long seen = 0;
+        for (int bucket = 0; bucket < bucketBounds.length; bucket++) {
+            seen += bucketCounts[bucket];
+            if (seen >= rank) {
+                return Math.min(bucketBounds[bucket], max);
+            }
+        }
+        return max;
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < bucketCounts.length; bucket++) {
+            bucketCounts[bucket] = 0;
+        }
+        count = 0;
+        sum = 0;
+        min = Float.MAX_VALUE;
+        max = -Float.MAX_VALUE;
+    }
+
+    public void appendSummary(StringBuilder builder) {
+        builder.append("count=").append(count);
+        MetricsRegistry.appendFixed(builder.append(" mean="), getMean(), 3);
+        MetricsRegistry.appendFixed(builder.append(" min="), getMin(), 3);
+        MetricsRegistry.appendFixed(builder.append(" p50="), getPercentile(50), 3);
+        MetricsRegistry.appendFixed(builder.append(" p99="), getPercentile(99), 3);
+        MetricsRegistry.appendFixed(builder.append(" max="), getMax(), 3);
+    }
+}
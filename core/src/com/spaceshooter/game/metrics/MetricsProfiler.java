@@ -0,0 +1,137 @@
+package com.spaceshooter.game.metrics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Locale;
+
+/**
+ * Feeds the profiler hooks into a {@link MetricsRegistry} and appends a snapshot of it
+ * to a local file every {@code snapshotInterval} seconds. Snapshots are built into a reused
+ * buffer after the frame time is recorded and written by a {@link SnapshotWriter}, so they
+ * neither allocate on nor block the render thread.
+ */
+public class MetricsProfiler implements GameProfiler {
+
+    private static final float NANOS_PER_MILLI = 1000000f;
+
+    private final MetricsRegistry registry;
+    private final String fileName;
+    private final float snapshotInterval;
+
+    private final Histogram frameTime, inputLatency;
+    private final Histogram[] phaseTimes;
+    private final long[] phaseStarts;
+    private final Counter frames, enemiesSpawned;
+    private final ObjectMap<String, Counter> createdCounters = new ObjectMap<>();
+    private final ObjectMap<String, Histogram> pairsTestedHistograms = new ObjectMap<>();
+    private final ObjectMap<String, Counter> hitCounters = new ObjectMap<>();
+
+    private long frameStart;
+    private float elapsed, timeSinceLastSnapshot;
+    private final StringBuilder snapshotBuffer = new StringBuilder(4096);
+    private SnapshotWriter snapshotWriter;
+
+    public MetricsProfiler(MetricsRegistry registry, String fileName, float snapshotInterval) {
+        this.registry = registry;
+        this.fileName = fileName;
+        this.snapshotInterval = snapshotInterval;
+
+        frames = registry.counter("frames");
+        enemiesSpawned = registry.counter("spawn.enemy");
+        frameTime = registry.histogram("frame.ms", MetricsRegistry.MILLISECOND_BUCKETS);
+        inputLatency = registry.histogram("input.latency.ms", MetricsRegistry.MILLISECOND_BUCKETS);
+
+        FramePhase[] phases = FramePhase.values();
+        phaseTimes = new Histogram[phases.length];
+        phaseStarts = new long[phases.length];
+        for (FramePhase phase : phases) {
+            phaseTimes[phase.ordinal()] = registry.histogram("phase." + phase.name().toLowerCase(Locale.US) + ".ms", MetricsRegistry.MILLISECOND_BUCKETS);
+        }
+    }
+
+    @Override
+    public void frameBegin(long frameId) {
+        frameStart = TimeUtils.nanoTime();
+    }
+
+    @Override
+    public void frameEnd(long frameId, float delta) {
+        frameTime.record((TimeUtils.nanoTime() - frameStart) / NANOS_PER_MILLI);
+        frames.increment();
+
+        elapsed += delta;
+        timeSinceLastSnapshot += delta;
+        if (timeSinceLastSnapshot >= snapshotInterval) {
+            takeSnapshot();
+            timeSinceLastSnapshot = 0;
+        }
+    }
+
+    @Override
+    public void phaseBegin(FramePhase phase) {
+        phaseStarts[phase.ordinal()] = TimeUtils.nanoTime();
+    }
+
+    @Override
+    public void phaseEnd(FramePhase phase) {
+        phaseTimes[phase.ordinal()].record((TimeUtils.nanoTime() - phaseStarts[phase.ordinal()]) / NANOS_PER_MILLI);
+    }
+
+    @Override
+    public void collisionPass(String pass, int pairsTested, int hits) {
+        Histogram pairsTestedHistogram = pairsTestedHistograms.get(pass);
+        if (pairsTestedHistogram == null) {
+            pairsTestedHistogram = registry.histogram("collision." + pass + ".pairs", MetricsRegistry.COUNT_BUCKETS);
+            pairsTestedHistograms.put(pass, pairsTestedHistogram);
+            hitCounters.put(pass, registry.counter("collision." + pass + ".hits"));
+        }
+        pairsTestedHistogram.record(pairsTested);
+        hitCounters.get(pass).add(hits);
+    }
+
+    @Override
+    public void enemySpawned(float x, float y) {
+        enemiesSpawned.increment();
+    }
+
+    @Override
+    public void objectsCreated(String kind, int count) {
+        Counter counter = createdCounters.get(kind);
+        if (counter == null) {
+            counter = registry.counter("created." + kind);
+            createdCounters.put(kind, counter);
+        }
+        counter.add(count);
+    }
+
+    @Override
+    public void inputApplied(long latencyNanos) {
+        inputLatency.record(latencyNanos / NANOS_PER_MILLI);
+    }
+
+    @Override
+    public void dispose() {
+        //write whatever was recorded since the last periodic snapshot
+        if (timeSinceLastSnapshot > 0) {
+            takeSnapshot();
+            timeSinceLastSnapshot = 0;
+        }
+        if (snapshotWriter != null) {
+            snapshotWriter.close();
+            snapshotWriter = null;
+        }
+    }
+
+    private void takeSnapshot() {
+        //created lazily, Gdx.files is not available yet when the launcher builds the profiler
+        if (snapshotWriter == null) {
+            snapshotWriter = new SnapshotWriter(Gdx.files.local(fileName));
+        }
+
+        snapshotBuffer.setLength(0);
+        registry.appendSnapshot(snapshotBuffer, elapsed);
+        snapshotWriter.submit(snapshotBuffer);
+    }
+}
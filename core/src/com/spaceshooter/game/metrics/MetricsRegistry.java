@@ -0,0 +1,75 @@
+package com.spaceshooter.game.metrics;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.OrderedMap;
+
+/**
+ * Named counters and histograms. Counters are cumulative, histograms are reset every
+ * time a snapshot is taken so each snapshot describes one interval.
+ */
+public class MetricsRegistry {
+
+    public static final float[] MILLISECOND_BUCKETS = {0.05f, 0.1f, 0.25f, 0.5f, 1, 2, 4, 8, 16.7f, 33.3f, 50, 100, 250};
+    public static final float[] COUNT_BUCKETS = {0, 1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024, 4096, 16384};
+
+    private final OrderedMap<String, Counter> counters = new OrderedMap<>();
+    private final OrderedMap<String, Histogram> histograms = new OrderedMap<>();
+
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            counter = new Counter();
+            counters.put(name, counter);
+        }
+        return counter;
+    }
+
+    public Histogram histogram(String name, float... bucketBounds) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = new Histogram(bucketBounds);
+            histograms.put(name, histogram);
+        }
+        return histogram;
+    }
+
+    /**
+     * Appends a snapshot to {@code builder} without allocating, so it can be taken on the
+     * render thread into a reused buffer.
+     */
+    public void appendSnapshot(StringBuilder builder, float elapsedSeconds) {
+        appendFixed(builder.append("# t="), elapsedSeconds, 1).append("s\n");
+
+        for (ObjectMap.Entry<String, Counter> entry : counters.entries()) {
+            builder.append("counter ").append(entry.key).append(' ').append(entry.value.getCount()).append('\n');
+        }
+        for (ObjectMap.Entry<String, Histogram> entry : histograms.entries()) {
+            builder.append("histogram ").append(entry.key).append(' ');
+            entry.value.appendSummary(builder);
+            builder.append('\n');
+            entry.value.reset();
+        }
+    }
+
+    static StringBuilder appendFixed(StringBuilder builder, float value, int decimals) {
+        if (value < 0) {
+            builder.append('-');
+            value = -value;
+        }
+
+        long scale = 1;
+        for (int i = 0; i < decimals; i++) scale *= 10;
+
+        long scaled = Math.round((double)value * scale);
+        builder.append(scaled / scale);
+        if (decimals > 0) {
+            builder.append('.');
+            long fraction = scaled % scale;
+            for (long digit = scale / 10; digit > 1 && fraction < digit; digit /= 10) {
+                builder.append('0');
+            }
+            builder.append(fraction);
+        }
+        return builder;
+    }
+}
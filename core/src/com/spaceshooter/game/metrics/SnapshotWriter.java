@@ -0,0 +1,76 @@
+package com.spaceshooter.game.metrics;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Appends metrics snapshots to a file on a background thread, so file IO never runs on
+ * the render thread. The first write replaces any file left by a previous session.
+ */
+class SnapshotWriter implements Runnable {
+
+    private final FileHandle file;
+    private final StringBuilder pending = new StringBuilder(4096);
+    private final Thread thread;
+
+    private boolean closed = false;
+    private boolean append = false;
+
+    SnapshotWriter(FileHandle file) {
+        this.file = file;
+
+        thread = new Thread(this, "metrics-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a copy of {@code snapshot}, the caller may reuse its buffer right away.
+     */
+    void submit(StringBuilder snapshot) {
+        synchronized (pending) {
+            pending.append(snapshot);
+            pending.notifyAll();
+        }
+    }
+
+    /**
+     * Writes everything still queued and stops the thread.
+     */
+    void close() {
+        synchronized (pending) {
+            closed = true;
+            pending.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            String text;
+            boolean finished;
+            synchronized (pending) {
+                while (pending.length() == 0 && !closed) {
+                    try {
+                        pending.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                text = pending.toString();
+                pending.setLength(0);
+                finished = closed;
+            }
+
+            if (text.length() > 0) {
+                file.writeString(text, append);
+                append = true;
+            }
+            if (finished) return;
+        }
+    }
+}
@@ -51,6 +51,14 @@ public abstract class Ship {
     public abstract Laser[] fireLaser();
 
     public boolean hitAndCheckDestroyed(Laser laser) {
+        return damageAndCheckDestroyed();
+    }
+
+    public boolean rammedAndCheckDestroyed(Ship otherShip) {
+        return damageAndCheckDestroyed();
+    }
+
+    private boolean damageAndCheckDestroyed() {
         if (shield > 0) {
             shield--;
             return false;
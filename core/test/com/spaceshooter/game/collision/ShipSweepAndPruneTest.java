@@ -0,0 +1,97 @@
+package com.spaceshooter.game.collision;
+
+import com.badlogic.gdx.utils.Array;
+import com.spaceshooter.game.models.Ship;
+import com.spaceshooter.game.objects.enemies.EnemyShip;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ShipSweepAndPruneTest {
+
+    private static final float WORLD_HEIGHT = 128;
+    private static final float BAND_HEIGHT = 16;
+
+    private ShipSweepAndPrune sweepAndPrune;
+
+    @Before
+    public void setUp() {
+        sweepAndPrune = new ShipSweepAndPrune(WORLD_HEIGHT, BAND_HEIGHT);
+    }
+
+    @Test
+    public void findsPairStraddlingBandEdge() {
+        Ship lower = addShip(10, 6, 10, 10);
+        Ship upper = addShip(15, 14, 10, 10);
+
+        assertOnlyPair(lower, upper);
+    }
+
+    @Test
+    public void findsPairMeetingInUpperBand() {
+        Ship lower = addShip(10, 10, 10, 10);
+        Ship upper = addShip(15, 18, 10, 10);
+
+        assertOnlyPair(lower, upper);
+    }
+
+    @Test
+    public void reportsShipsSpanningTwoBandsOnce() {
+        Ship first = addShip(10, 10, 10, 16);
+        Ship second = addShip(12, 12, 10, 16);
+
+        assertOnlyPair(first, second);
+    }
+
+    @Test
+    public void ignoresTouchingEdges() {
+        addShip(0, 40, 10, 10);
+        addShip(10, 40, 10, 10);
+        addShip(0, 50, 10, 10);
+
+        assertEquals(0, sweepAndPrune.findOverlappingPairs().size);
+    }
+
+    @Test
+    public void ignoresSeparatedShipsInSameBand() {
+        addShip(0, 70, 10, 10);
+        addShip(30, 70, 10, 10);
+        addShip(5, 82, 10, 4);
+
+        assertEquals(0, sweepAndPrune.findOverlappingPairs().size);
+    }
+
+    @Test
+    public void followsShipsAfterTheyMoveAndAreRemoved() {
+        Ship first = addShip(0, 20, 10, 10);
+        Ship second = addShip(40, 20, 10, 10);
+        Ship third = addShip(20, 20, 10, 10);
+        assertEquals(0, sweepAndPrune.findOverlappingPairs().size);
+
+        first.boundingBox.x = 35;
+        assertOnlyPair(second, first);
+
+        sweepAndPrune.remove(second);
+        first.boundingBox.x = 25;
+        assertOnlyPair(third, first);
+    }
+
+    private Ship addShip(float x, float y, float width, float height) {
+        Ship ship = new EnemyShip(0, 0, width, height, x + width / 2, y + height / 2,
+                0, 0, 0, 0, null, null, null);
+        sweepAndPrune.add(ship);
+        return ship;
+    }
+
+    private void assertOnlyPair(Ship first, Ship second) {
+        Array<Ship> pairs = sweepAndPrune.findOverlappingPairs();
+        assertEquals(2, pairs.size);
+        assertTrue(pairs.contains(first, true));
+        assertTrue(pairs.contains(second, true));
+        assertSame(pairs.get(0) == first ? second : first, pairs.get(1));
+    }
+}
@@ -3,12 +3,48 @@ package com.spaceshooter.game.desktop;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import com.spaceshooter.game.Game;
+import com.spaceshooter.game.desktop.jfr.JfrProfiler;
+import com.spaceshooter.game.metrics.MetricsProfiler;
+import com.spaceshooter.game.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.Arrays;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
 
 public class DesktopLauncher {
+	private static final String RECORD_FLAG = "--record";
+	private static final String RECORDING_FILE = "spacehell.jfr";
+	private static final String METRICS_FILE = "spacehell-metrics.txt";
+	private static final float METRICS_SNAPSHOT_INTERVAL = 5f;
+
 	public static void main (String[] arg) {
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 		config.height = 640;
 		config.width = 360;
-		new LwjglApplication(new Game(), config);
+
+		Game game;
+		if (Arrays.asList(arg).contains(RECORD_FLAG)) {
+			startRecording();
+			game = new Game(new JfrProfiler(new MetricsProfiler(new MetricsRegistry(), METRICS_FILE, METRICS_SNAPSHOT_INTERVAL)));
+		} else {
+			game = new Game();
+		}
+		new LwjglApplication(game, config);
+	}
+
+	private static void startRecording() {
+		try {
+			Recording recording = new Recording(Configuration.getConfiguration("profile"));
+			recording.setName("SpaceHell");
+			recording.setDestination(Paths.get(RECORDING_FILE));
+			recording.setDumpOnExit(true);
+			recording.start();
+		} catch (IOException | ParseException e) {
+			System.err.println("Could not start flight recording: " + e.getMessage());
+		}
 	}
 }
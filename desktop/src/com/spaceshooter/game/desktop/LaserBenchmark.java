@@ -0,0 +1,143 @@
+package com.spaceshooter.game.desktop;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
+import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.spaceshooter.game.graphics.LaserRenderer;
+import com.spaceshooter.game.objects.Laser;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares drawing lasers one {@link Laser#draw} call at a time with {@link LaserRenderer}.
+ * First checks that both paths render identical pixels and exits with status 1 if they
+ * differ, then times submitting a frame for each path. Run with
+ * {@code gradlew desktop:benchmarkLasers}; set {@code LIBGL_ALWAYS_SOFTWARE=1} to force
+ * the Mesa software renderer.
+ */
+public class LaserBenchmark extends ApplicationAdapter {
+	private static final float WORLD_WIDTH = 72;
+	private static final float WORLD_HEIGHT = 128;
+	private static final int WARMUP_FRAMES = 120;
+	private static final int MEASURED_FRAMES = 600;
+
+	private final int laserCount;
+
+	private TextureAtlas textureAtlas;
+	private SpriteBatch batch;
+	private LaserRenderer laserRenderer;
+	private Laser[] lasers;
+
+	private int frame = 0;
+	private long perObjectNanos, batchedNanos;
+
+	public LaserBenchmark(int laserCount) {
+		this.laserCount = laserCount;
+	}
+
+	public static void main (String[] arg) {
+		int laserCount = arg.length > 0 ? Integer.parseInt(arg[0]) : 10000;
+
+		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
+		config.height = 640;
+		config.width = 360;
+		config.vSyncEnabled = false;
+		config.foregroundFPS = 0;
+		config.backgroundFPS = 0;
+		//exit with status 0 when the benchmark finishes instead of the backend's forced exit
+		config.forceExit = false;
+		new LwjglApplication(new LaserBenchmark(laserCount), config);
+	}
+
+	@Override
+	public void create() {
+		textureAtlas = new TextureAtlas("images.atlas");
+		TextureRegion[] laserTextureRegions = {
+				textureAtlas.findRegion("laserBlue03"),
+				textureAtlas.findRegion("laserRed02")
+		};
+
+		Random random = new Random(42);
+		lasers = new Laser[laserCount];
+		for (int i = 0; i < laserCount; i++) {
+			lasers[i] = new Laser(random.nextFloat() * WORLD_WIDTH, random.nextFloat() * WORLD_HEIGHT,
+					0.4f, 4, 45, laserTextureRegions[i % 2]);
+		}
+
+		OrthographicCamera camera = new OrthographicCamera();
+		camera.setToOrtho(false, WORLD_WIDTH, WORLD_HEIGHT);
+		batch = new SpriteBatch();
+		batch.setProjectionMatrix(camera.combined);
+		laserRenderer = new LaserRenderer(laserCount);
+
+		byte[] perObjectPixels = renderAndRead(false);
+		byte[] batchedPixels = renderAndRead(true);
+		if (!Arrays.equals(perObjectPixels, batchedPixels)) {
+			Gdx.app.error("LaserBenchmark", "batched lasers do not match per-object lasers, skipping timings");
+			System.exit(1);
+		}
+		Gdx.app.log("LaserBenchmark", "pixels identical");
+	}
+
+	@Override
+	public void render() {
+		boolean batched = frame % 2 == 1;
+		long start = TimeUtils.nanoTime();
+		renderLasers(batched);
+		long elapsed = TimeUtils.nanoTime() - start;
+
+		if (frame >= WARMUP_FRAMES) {
+			if (batched) batchedNanos += elapsed;
+			else perObjectNanos += elapsed;
+		}
+
+		frame++;
+		if (frame == WARMUP_FRAMES + MEASURED_FRAMES) {
+			int framesPerPath = MEASURED_FRAMES / 2;
+			Gdx.app.log("LaserBenchmark", String.format("%d lasers, %s", laserCount, Gdx.gl.glGetString(GL20.GL_RENDERER)));
+			Gdx.app.log("LaserBenchmark", String.format("per-object: %.3f ms/frame", perObjectNanos / 1000000f / framesPerPath));
+			Gdx.app.log("LaserBenchmark", String.format("batched:    %.3f ms/frame", batchedNanos / 1000000f / framesPerPath));
+			Gdx.app.exit();
+		}
+	}
+
+	private void renderLasers(boolean batched) {
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+		batch.begin();
+		if (batched) {
+			laserRenderer.begin(batch);
+			for (Laser laser : lasers) {
+				laserRenderer.add(laser);
+			}
+			laserRenderer.end();
+		} else {
+			for (Laser laser : lasers) {
+				laser.draw(batch);
+			}
+		}
+		batch.end();
+	}
+
+	private byte[] renderAndRead(boolean batched) {
+		renderLasers(batched);
+		return ScreenUtils.getFrameBufferPixels(false);
+	}
+
+	@Override
+	public void dispose() {
+		laserRenderer.dispose();
+		batch.dispose();
+		textureAtlas.dispose();
+	}
+}
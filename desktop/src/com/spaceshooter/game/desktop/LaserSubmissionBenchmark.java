@@ -0,0 +1,252 @@
+package com.spaceshooter.game.desktop;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.spaceshooter.game.graphics.LaserRenderer;
+import com.spaceshooter.game.objects.Laser;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Headless counterpart of {@link LaserBenchmark} for machines without a display or GL driver.
+ * GL is replaced by a recorder that does no rendering but captures, for every draw call, the
+ * bound texture, blend state and each indexed vertex as the driver would read it. The
+ * per-object and {@link LaserRenderer} paths must submit exactly the same vertex stream or
+ * the run exits with status 1. It then reports draw calls and the CPU time of building and
+ * submitting a frame for each path; GPU time is not covered.
+ * Run with {@code gradlew desktop:benchmarkLasersHeadless}.
+ */
+public class LaserSubmissionBenchmark extends ApplicationAdapter {
+	private static final float WORLD_WIDTH = 72;
+	private static final float WORLD_HEIGHT = 128;
+	private static final int WARMUP_FRAMES = 1000;
+	private static final int MEASURED_FRAMES = 2000;
+
+	private final int laserCount;
+	private final RecordingGL recordingGL = new RecordingGL();
+
+	public LaserSubmissionBenchmark(int laserCount) {
+		this.laserCount = laserCount;
+	}
+
+	public static void main (String[] arg) {
+		int laserCount = arg.length > 0 ? Integer.parseInt(arg[0]) : 10000;
+		//the headless loop runs on its own thread, so a failure there must still fail the task
+		Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			@Override
+			public void uncaughtException(Thread thread, Throwable throwable) {
+				throwable.printStackTrace();
+				System.exit(1);
+			}
+		});
+		new HeadlessApplication(new LaserSubmissionBenchmark(laserCount), new HeadlessApplicationConfiguration());
+	}
+
+	@Override
+	public void create() {
+		GL20 gl = (GL20)Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class}, recordingGL);
+		Gdx.gl = gl;
+		Gdx.gl20 = gl;
+		ShaderProgram.pedantic = false;
+
+		TextureAtlas textureAtlas = new TextureAtlas("images.atlas");
+		TextureRegion[] laserTextureRegions = {
+				textureAtlas.findRegion("laserBlue03"),
+				textureAtlas.findRegion("laserRed02")
+		};
+
+		Random random = new Random(42);
+		Laser[] lasers = new Laser[laserCount];
+		for (int i = 0; i < laserCount; i++) {
+			//player lasers first, then enemy lasers, as GameScreen draws them
+			lasers[i] = new Laser(random.nextFloat() * WORLD_WIDTH, random.nextFloat() * WORLD_HEIGHT,
+					0.4f, 4, 45, laserTextureRegions[i < laserCount / 2 ? 0 : 1]);
+		}
+
+		SpriteBatch batch = new SpriteBatch();
+		LaserRenderer laserRenderer = new LaserRenderer(laserCount);
+
+		FloatArray perObjectStream = new FloatArray(), batchedStream = new FloatArray();
+		recordingGL.capture(perObjectStream);
+		renderLasers(batch, laserRenderer, lasers, false);
+		int perObjectDraws = recordingGL.draws;
+		recordingGL.capture(batchedStream);
+		renderLasers(batch, laserRenderer, lasers, true);
+		int batchedDraws = recordingGL.draws;
+		recordingGL.capture(null);
+
+		if (!perObjectStream.equals(batchedStream)) {
+			System.err.println("batched lasers submit different vertices than per-object lasers");
+			System.exit(1);
+		}
+		System.out.println(String.format("%d lasers: identical vertex streams (%d floats)", laserCount, perObjectStream.size));
+
+		long perObjectNanos = time(batch, laserRenderer, lasers, false);
+		long batchedNanos = time(batch, laserRenderer, lasers, true);
+		System.out.println(String.format("per-object: %.3f ms/frame, %d draw calls", perObjectNanos / 1000000f / MEASURED_FRAMES, perObjectDraws));
+		System.out.println(String.format("batched:    %.3f ms/frame, %d draw calls", batchedNanos / 1000000f / MEASURED_FRAMES, batchedDraws));
+
+		laserRenderer.dispose();
+		batch.dispose();
+		textureAtlas.dispose();
+		Gdx.app.exit();
+	}
+
+	private long time(SpriteBatch batch, LaserRenderer laserRenderer, Laser[] lasers, boolean batched) {
+		long nanos = 0;
+		for (int frame = 0; frame < WARMUP_FRAMES + MEASURED_FRAMES; frame++) {
+			long start = TimeUtils.nanoTime();
+			renderLasers(batch, laserRenderer, lasers, batched);
+			if (frame >= WARMUP_FRAMES) nanos += TimeUtils.nanoTime() - start;
+		}
+		return nanos;
+	}
+
+	private void renderLasers(SpriteBatch batch, LaserRenderer laserRenderer, Laser[] lasers, boolean batched) {
+		batch.begin();
+		if (batched) {
+			laserRenderer.begin(batch);
+			for (Laser laser : lasers) {
+				laserRenderer.add(laser);
+			}
+			laserRenderer.end();
+		} else {
+			for (Laser laser : lasers) {
+				laser.draw(batch);
+			}
+		}
+		batch.end();
+	}
+
+	/**
+	 * Answers GL calls with harmless defaults and, while capturing, appends the vertices of
+	 * each draw to a float stream, preceded by the texture and blend state whenever it changes.
+	 */
+	private static class RecordingGL implements InvocationHandler {
+		private static final int POSITION = 1, COLOR = 2, TEXCOORD = 3;
+		private static final String[] ATTRIBUTES = {
+				ShaderProgram.POSITION_ATTRIBUTE, ShaderProgram.COLOR_ATTRIBUTE, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"
+		};
+
+		private final ObjectIntMap<String> attributeLocations = new ObjectIntMap<String>();
+		private final Buffer[] attributeBuffers = new Buffer[8];
+		private final int[] attributePositions = new int[8];
+		private final int[] attributeStrides = new int[8];
+
+		private int nextHandle = 1;
+		private int boundTexture;
+		private boolean blending;
+		private final int[] blendFunc = new int[4];
+
+		private FloatArray stream;
+		private final int[] streamState = new int[6];
+		int draws;
+
+		RecordingGL() {
+			attributeLocations.put(ShaderProgram.POSITION_ATTRIBUTE, POSITION);
+			attributeLocations.put(ShaderProgram.COLOR_ATTRIBUTE, COLOR);
+			attributeLocations.put(ShaderProgram.TEXCOORD_ATTRIBUTE + "0", TEXCOORD);
+		}
+
+		void capture(FloatArray stream) {
+			this.stream = stream;
+			streamState[0] = -1;
+			draws = 0;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			String name = method.getName();
+			if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+				int pname = (Integer)args[1];
+				int value = pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS ? 1 : 0;
+				if (pname == GL20.GL_ACTIVE_ATTRIBUTES) value = ATTRIBUTES.length;
+				((IntBuffer)args[2]).put(0, value);
+			} else if (name.equals("glGetActiveAttrib")) {
+				return ATTRIBUTES[(Integer)args[1]];
+			} else if (name.equals("glGetAttribLocation")) {
+				return attributeLocations.get((String)args[1], -1);
+			} else if (name.equals("glBindTexture")) {
+				boundTexture = (Integer)args[1];
+			} else if (name.equals("glEnable") || name.equals("glDisable")) {
+				if ((Integer)args[0] == GL20.GL_BLEND) blending = name.equals("glEnable");
+			} else if (name.equals("glBlendFuncSeparate")) {
+				for (int i = 0; i < 4; i++) blendFunc[i] = (Integer)args[i];
+			} else if (name.equals("glBlendFunc")) {
+				blendFunc[0] = blendFunc[2] = (Integer)args[0];
+				blendFunc[1] = blendFunc[3] = (Integer)args[1];
+			} else if (name.equals("glVertexAttribPointer") && args[5] instanceof Buffer) {
+				int location = (Integer)args[0];
+				attributeBuffers[location] = (Buffer)args[5];
+				attributePositions[location] = ((Buffer)args[5]).position();
+				attributeStrides[location] = (Integer)args[4];
+			} else if (name.equals("glDrawElements")) {
+				draws++;
+				if (stream != null) record((Integer)args[1], args[3]);
+			}
+
+			Class<?> returnType = method.getReturnType();
+			if (returnType == int.class) return name.startsWith("glGen") || name.startsWith("glCreate") ? nextHandle++ : 0;
+			if (returnType == boolean.class) return false;
+			if (returnType == float.class) return 0f;
+			if (returnType == String.class) return "";
+			return null;
+		}
+
+		private void record(int count, Object indices) {
+			if (!(indices instanceof ShortBuffer)) {
+				throw new IllegalStateException("only client-side index arrays are recorded");
+			}
+			ShortBuffer indexBuffer = (ShortBuffer)indices;
+
+			//draws may be split at different points, so state is only recorded when it changes
+			int[] state = {boundTexture, blending ? 1 : 0, blendFunc[0], blendFunc[1], blendFunc[2], blendFunc[3]};
+			if (!Arrays.equals(state, streamState)) {
+				System.arraycopy(state, 0, streamState, 0, state.length);
+				for (int value : state) stream.add(-value - 1);
+			}
+
+			for (int i = 0; i < count; i++) {
+				int vertex = indexBuffer.get(indexBuffer.position() + i);
+				addAttribute(POSITION, vertex, 2);
+				addAttribute(COLOR, vertex, 4);
+				addAttribute(TEXCOORD, vertex, 2);
+			}
+		}
+
+		private void addAttribute(int location, int vertex, int components) {
+			Buffer buffer = attributeBuffers[location];
+			if (buffer instanceof FloatBuffer) {
+				int offset = attributePositions[location] + vertex * attributeStrides[location] / 4;
+				for (int component = 0; component < components; component++) {
+					stream.add(((FloatBuffer)buffer).get(offset + component));
+				}
+			} else {
+				//packed colors are handed over as bytes
+				int offset = attributePositions[location] + vertex * attributeStrides[location];
+				for (int component = 0; component < components; component++) {
+					stream.add(((ByteBuffer)buffer).get(offset + component));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.spaceshooter.game.desktop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("spacehell.CollisionPass")
+@Label("Collision Pass")
+@Category({"SpaceHell", "Gameplay"})
+class CollisionPassEvent extends jdk.jfr.Event {
+
+    @Label("Pass")
+    String pass;
+
+    @Label("Pairs Tested")
+    int pairsTested;
+
+    @Label("Hits")
+    int hits;
+}
@@ -0,0 +1,17 @@
+package com.spaceshooter.game.desktop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("spacehell.EnemySpawn")
+@Label("Enemy Spawn")
+@Category({"SpaceHell", "Gameplay"})
+class EnemySpawnEvent extends jdk.jfr.Event {
+
+    @Label("X")
+    float x;
+
+    @Label("Y")
+    float y;
+}
@@ -0,0 +1,19 @@
+package com.spaceshooter.game.desktop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("spacehell.Frame")
+@Label("Frame")
+@Category({"SpaceHell", "Frame"})
+class FrameEvent extends jdk.jfr.Event {
+
+    @Label("Frame Id")
+    long frameId;
+
+    @Label("Delta Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long delta;
+}
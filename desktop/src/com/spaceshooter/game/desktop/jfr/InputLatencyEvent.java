@@ -0,0 +1,18 @@
+package com.spaceshooter.game.desktop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("spacehell.InputLatency")
+@Label("Input Latency")
+@Category({"SpaceHell", "Input"})
+class InputLatencyEvent extends jdk.jfr.Event {
+
+    @Label("Latency")
+    @Description("Time from an input event reaching the game to the player ship moving because of it")
+    @Timespan(Timespan.NANOSECONDS)
+    long latency;
+}
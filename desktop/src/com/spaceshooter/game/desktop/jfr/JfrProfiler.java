@@ -0,0 +1,159 @@
+package com.spaceshooter.game.desktop.jfr;
+
+import com.spaceshooter.game.metrics.FramePhase;
+import com.spaceshooter.game.metrics.GameProfiler;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+
+/**
+ * Emits Java Flight Recorder events for every profiler hook and forwards them to a
+ * delegate profiler.
+ * <p>
+ * JFR events are objects, and the frame and phase events live across calls, so escape
+ * analysis cannot remove them. While recording, a frame allocates about 15 small event
+ * objects: one frame event, one per {@link FramePhase}, one per collision pass, plus one per
+ * spawn or creation batch. Whether each event type is enabled is cached and refreshed
+ * whenever a recording changes state, and nothing is allocated for disabled types.
+ */
+public class JfrProfiler implements GameProfiler {
+
+    private final GameProfiler delegate;
+
+    private volatile boolean frameEnabled, phaseEnabled, collisionPassEnabled,
+            enemySpawnEnabled, objectsCreatedEnabled, inputLatencyEnabled;
+
+    private final PhaseEvent[] phaseEvents = new PhaseEvent[FramePhase.values().length];
+    private FrameEvent frameEvent;
+    private long frameId;
+
+    public JfrProfiler(GameProfiler delegate) {
+        this.delegate = delegate;
+
+        updateEnabledEvents();
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                updateEnabledEvents();
+            }
+        });
+    }
+
+    private void updateEnabledEvents() {
+        frameEnabled = new FrameEvent().isEnabled();
+        phaseEnabled = new PhaseEvent().isEnabled();
+        collisionPassEnabled = new CollisionPassEvent().isEnabled();
+        enemySpawnEnabled = new EnemySpawnEvent().isEnabled();
+        objectsCreatedEnabled = new ObjectsCreatedEvent().isEnabled();
+        inputLatencyEnabled = new InputLatencyEvent().isEnabled();
+    }
+
+    @Override
+    public void frameBegin(long frameId) {
+        this.frameId = frameId;
+        if (frameEnabled) {
+            frameEvent = new FrameEvent();
+            frameEvent.begin();
+        }
+        delegate.frameBegin(frameId);
+    }
+
+    @Override
+    public void frameEnd(long frameId, float delta) {
+        //end the frame before the delegate runs so its bookkeeping is not counted as frame time
+        FrameEvent event = frameEvent;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.frameId = frameId;
+                event.delta = (long)(delta * 1000000000L);
+                event.commit();
+            }
+            frameEvent = null;
+        }
+        delegate.frameEnd(frameId, delta);
+    }
+
+    @Override
+    public void phaseBegin(FramePhase phase) {
+        if (phaseEnabled) {
+            PhaseEvent event = new PhaseEvent();
+            event.begin();
+            phaseEvents[phase.ordinal()] = event;
+        }
+        delegate.phaseBegin(phase);
+    }
+
+    @Override
+    public void phaseEnd(FramePhase phase) {
+        delegate.phaseEnd(phase);
+        PhaseEvent event = phaseEvents[phase.ordinal()];
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.frameId = frameId;
+                event.phase = phase.name();
+                event.commit();
+            }
+            phaseEvents[phase.ordinal()] = null;
+        }
+    }
+
+    @Override
+    public void collisionPass(String pass, int pairsTested, int hits) {
+        if (collisionPassEnabled) {
+            CollisionPassEvent event = new CollisionPassEvent();
+            if (event.shouldCommit()) {
+                event.pass = pass;
+                event.pairsTested = pairsTested;
+                event.hits = hits;
+                event.commit();
+            }
+        }
+        delegate.collisionPass(pass, pairsTested, hits);
+    }
+
+    @Override
+    public void enemySpawned(float x, float y) {
+        if (enemySpawnEnabled) {
+            EnemySpawnEvent event = new EnemySpawnEvent();
+            if (event.shouldCommit()) {
+                event.x = x;
+                event.y = y;
+                event.commit();
+            }
+        }
+        delegate.enemySpawned(x, y);
+    }
+
+    @Override
+    public void objectsCreated(String kind, int count) {
+        if (objectsCreatedEnabled) {
+            ObjectsCreatedEvent event = new ObjectsCreatedEvent();
+            if (event.shouldCommit()) {
+                event.kind = kind;
+                event.count = count;
+                event.commit();
+            }
+        }
+        delegate.objectsCreated(kind, count);
+    }
+
+    @Override
+    public void inputApplied(long latencyNanos) {
+        if (inputLatencyEnabled) {
+            InputLatencyEvent event = new InputLatencyEvent();
+            if (event.shouldCommit()) {
+                event.latency = latencyNanos;
+                event.commit();
+            }
+        }
+        delegate.inputApplied(latencyNanos);
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+}
@@ -0,0 +1,17 @@
+package com.spaceshooter.game.desktop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("spacehell.ObjectsCreated")
+@Label("Objects Created")
+@Category({"SpaceHell", "Allocation"})
+class ObjectsCreatedEvent extends jdk.jfr.Event {
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Count")
+    int count;
+}
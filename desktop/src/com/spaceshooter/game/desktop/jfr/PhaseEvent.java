@@ -0,0 +1,17 @@
+package com.spaceshooter.game.desktop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("spacehell.Phase")
+@Label("Frame Phase")
+@Category({"SpaceHell", "Frame"})
+class PhaseEvent extends jdk.jfr.Event {
+
+    @Label("Frame Id")
+    long frameId;
+
+    @Label("Phase")
+    String phase;
+}